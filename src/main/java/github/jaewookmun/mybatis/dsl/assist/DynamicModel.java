@@ -9,4 +9,20 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.SOURCE)
 public @interface DynamicModel {
     String table() default "";
+
+    /**
+     * generate an in-memory snapshot holder (~Snapshot) loaded from the whole table.
+     * requires an @Id field
+     */
+    boolean preload() default false;
+
+    /**
+     * background refresh period of the snapshot in seconds. (0: no background refresh, must not be negative)
+     */
+    long refresh() default 0;
+
+    /**
+     * generate a write-behind buffer (~WriteBuffer) flushing rows from many threads as multi-row inserts
+     */
+    boolean writeBuffer() default false;
 }
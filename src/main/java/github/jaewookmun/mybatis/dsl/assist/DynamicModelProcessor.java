@@ -9,27 +9,57 @@ import org.mybatis.dynamic.sql.AliasableSqlTable;
 import org.mybatis.dynamic.sql.BasicColumn;
 import org.mybatis.dynamic.sql.SqlBuilder;
 import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.delete.DeleteDSL;
 import org.mybatis.dynamic.sql.delete.DeleteDSLCompleter;
+import org.mybatis.dynamic.sql.delete.DeleteModel;
 import org.mybatis.dynamic.sql.insert.render.InsertStatementProvider;
+import org.mybatis.dynamic.sql.insert.render.MultiRowInsertStatementProvider;
+import org.mybatis.dynamic.sql.render.RenderingStrategies;
+import org.mybatis.dynamic.sql.select.QueryExpressionDSL;
 import org.mybatis.dynamic.sql.select.SelectDSLCompleter;
+import org.mybatis.dynamic.sql.select.SelectModel;
 import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.UpdateDSL;
 import org.mybatis.dynamic.sql.update.UpdateDSLCompleter;
+import org.mybatis.dynamic.sql.update.UpdateModel;
 import org.mybatis.dynamic.sql.util.SqlProviderAdapter;
 import org.mybatis.dynamic.sql.util.mybatis3.*;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
 import java.io.IOException;
 import java.sql.JDBCType;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 @SupportedAnnotationTypes("github.jaewookmun.mybatis.dsl.assist.DynamicModel")
@@ -39,6 +69,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
     private Messager messager;
     private Filer filer;
     private Elements elementUtils;
+    private Types typeUtils;
 
     private static final String DYNAMIC_SQL_SUPPORT = "DynamicSqlSupport";
 
@@ -48,6 +79,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
         filer = processingEnv.getFiler();
         messager = processingEnv.getMessager();
         elementUtils = processingEnv.getElementUtils();
+        typeUtils = processingEnv.getTypeUtils();
     }
 
     @Override
@@ -58,6 +90,14 @@ public class DynamicModelProcessor extends AbstractProcessor {
             TypeElement typeElement = (TypeElement) element;
             String tableFieldName = generateDynamicSqlSupport(typeElement);
             generateDefaultMapperInterface(typeElement, tableFieldName);
+
+            if (typeElement.getAnnotation(DynamicModel.class).preload()) {
+                generateSnapshotHolder(typeElement);
+            }
+
+            if (typeElement.getAnnotation(DynamicModel.class).writeBuffer()) {
+                generateWriteBuffer(typeElement);
+            }
         }
 
         return true;
@@ -131,6 +171,30 @@ public class DynamicModelProcessor extends AbstractProcessor {
                     .build();
 
             defaultMapper.addMethod(insertUsingGeneratedKey);
+
+            MethodSpec insertMultipleUsingGeneratedKey = MethodSpec.methodBuilder("insertMultiple")
+                    .addAnnotation(AnnotationSpec.builder(InsertProvider.class)
+                            .addMember("value",
+                                    CodeBlock.of("type = $T.class, method = $S", SqlProviderAdapter.class, "insertMultiple")
+                            )
+                            .build()
+                    )
+                    .addAnnotation(AnnotationSpec.builder(Options.class)
+                            .addMember("value",
+                                    CodeBlock.of("useGeneratedKeys = $L, keyProperty = $S", true, "records." + idField.getSimpleName())
+                            )
+                            .build()
+                    )
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .returns(TypeName.INT)
+                    .addParameter(ParameterizedTypeName.get(
+                            ClassName.get(MultiRowInsertStatementProvider.class),
+                            ClassName.get(element)
+                    ), "multipleInsertStatement")
+                    .build();
+
+            defaultMapper.addMethod(insertMultipleUsingGeneratedKey);
         }
 
         /*
@@ -160,9 +224,36 @@ public class DynamicModelProcessor extends AbstractProcessor {
 
         defaultMapper.addMethod(insertMethod);
 
+        /*
+            default int insertMultiple(Collection<PersonRecord> records) {
+                return MyBatis3Utils.insertMultiple(this::insertMultiple, records, person, c -> c
+                            .map(PersonDynamicSqlSupport.id).toProperty("id")
+                            ...
+                );
+            }
+         */
+        MethodSpec insertMultipleMethod = MethodSpec.methodBuilder("insertMultiple")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(TypeName.INT)
+                .addParameter(ParameterizedTypeName.get(
+                        ClassName.get(Collection.class),
+                        ClassName.get(element)
+                ), "records")
+                .addCode("return $T.insertMultiple(this::insertMultiple, records, $T.$L, c -> c\n",
+                        ClassName.get(MyBatis3Utils.class),
+                        ClassName.get("", entityModelName + DYNAMIC_SQL_SUPPORT),
+                        tableFieldName)
+                .addCode(generateInsertMapping(element, entityModelName))
+                .addCode(");\n")
+                .build();
+
+        defaultMapper.addMethod(insertMultipleMethod);
+
         List<MethodSpec> selectMethodList = generateSelectMethods(element, entityModelName, tableFieldName);
         selectMethodList.forEach(defaultMapper::addMethod);
 
+        addJoinedSelectMethods(defaultMapper, element, entityModelName, tableFieldName);
+
         Optional<? extends Element> idField = element.getEnclosedElements().stream()
                 .filter(e -> e.getAnnotation(Id.class) != null)
                 .findFirst();
@@ -235,7 +326,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
             MethodSpec deleteById = MethodSpec.methodBuilder("deleteById")
                     .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
                     .returns(TypeName.INT)
-                    .addParameter(Integer.class, "id")
+                    .addParameter(getWrappedType(TypeName.get(idField.get().asType())), "id")
                     .addCode("return delete(c -> c.where($T.$L, $T.isEqualTo(id)));\n",
                             ClassName.get("", entityModelName + DYNAMIC_SQL_SUPPORT),
                             idField.get().getSimpleName(),
@@ -244,6 +335,14 @@ public class DynamicModelProcessor extends AbstractProcessor {
             defaultMapper.addMethod(deleteById);
         }
 
+        generateChunkedMethods("updateInChunks", "update", "update", UpdateDSLCompleter.class, UpdateDSL.class, UpdateModel.class,
+                true, entityModelName, tableFieldName)
+                .forEach(defaultMapper::addMethod);
+
+        generateChunkedMethods("deleteInChunks", "deleteFrom", "delete", DeleteDSLCompleter.class, DeleteDSL.class, DeleteModel.class,
+                false, entityModelName, tableFieldName)
+                .forEach(defaultMapper::addMethod);
+
         JavaFile javaFile = JavaFile.builder(packageName, defaultMapper.build())
                 .indent("\t")
                 .build();
@@ -256,12 +355,571 @@ public class DynamicModelProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * read-only snapshot of a small reference table.
+     * the whole table is loaded through the generated mapper and published as an immutable id-indexed map,
+     * so lookups are plain in-memory reads and a (background) reload never blocks readers.
+     */
+    private void generateSnapshotHolder(TypeElement element) {
+        String packageName = elementUtils.getPackageOf(element).getQualifiedName().toString();
+        String entityModelName = element.getSimpleName().toString();
+        long refreshSeconds = element.getAnnotation(DynamicModel.class).refresh();
+
+        if (refreshSeconds < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@DynamicModel(refresh) must not be negative: " + refreshSeconds, element);
+            return;
+        }
+
+        Optional<? extends Element> idField = element.getEnclosedElements().stream()
+                .filter(e -> e.getAnnotation(Id.class) != null)
+                .findFirst();
+
+        if (!idField.isPresent()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@DynamicModel(preload = true) requires an @Id field", element);
+            return;
+        }
+
+        String snapshotName = entityModelName + "Snapshot";
+        ClassName mapperType = ClassName.get("", entityModelName + "MyBatisDSLMapper");
+        ClassName rowsType = ClassName.get(packageName, snapshotName, "Rows");
+        TypeName rowType = ClassName.get(element);
+        TypeName idType = getWrappedType(TypeName.get(idField.get().asType()));
+        TypeName rowMapType = ParameterizedTypeName.get(
+                ClassName.get(Map.class),
+                idType,
+                rowType
+        );
+        TypeName rowListType = ParameterizedTypeName.get(ClassName.get(List.class), rowType);
+        TypeName failureHandlerType = ParameterizedTypeName.get(Consumer.class, Throwable.class);
+
+        /*
+            private static final class Rows {
+                private final Map<Integer, Fruit> byId;
+                private final List<Fruit> all;
+                private final Instant loadedAt;
+                ...
+            }
+         */
+        TypeSpec rows = TypeSpec.classBuilder("Rows")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addField(rowMapType, "byId", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(rowListType, "all", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(Instant.class, "loadedAt", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(rowMapType, "byId")
+                        .addParameter(rowListType, "all")
+                        .addParameter(Instant.class, "loadedAt")
+                        .addStatement("this.byId = byId")
+                        .addStatement("this.all = all")
+                        .addStatement("this.loadedAt = loadedAt")
+                        .build())
+                .build();
+
+        TypeSpec.Builder snapshot = TypeSpec.classBuilder(snapshotName)
+                .addModifiers(Modifier.PUBLIC)
+                .addSuperinterface(AutoCloseable.class)
+                .addType(rows)
+                .addField(mapperType, "mapper", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(FieldSpec.builder(
+                                ParameterizedTypeName.get(ClassName.get(AtomicReference.class), rowsType),
+                                "rows",
+                                Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T<>()", AtomicReference.class)
+                        .build())
+                .addField(ScheduledExecutorService.class, "scheduler", Modifier.PRIVATE, Modifier.FINAL);
+
+        /*
+            public FruitSnapshot(FruitMyBatisDSLMapper mapper, Consumer<Throwable> refreshFailureHandler) {
+                this.mapper = mapper;
+                this.refreshFailureHandler = Objects.requireNonNull(refreshFailureHandler);
+                reload();
+                this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> { ... });
+                this.scheduler.scheduleWithFixedDelay(this::refresh, 60, 60, TimeUnit.SECONDS);
+            }
+         */
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(mapperType, "mapper")
+                .addStatement("this.mapper = mapper");
+
+        if (refreshSeconds > 0) {
+            snapshot.addField(failureHandlerType, "refreshFailureHandler", Modifier.PRIVATE, Modifier.FINAL);
+
+            constructor.addParameter(failureHandlerType, "refreshFailureHandler")
+                    .addStatement("this.refreshFailureHandler = $T.requireNonNull(refreshFailureHandler)", Objects.class)
+                    .addStatement("reload()")
+                    .addCode("this.scheduler = $T.newSingleThreadScheduledExecutor(r -> {\n", Executors.class)
+                    .addCode("\tThread thread = new Thread(r, $S);\n", snapshotName + "-refresh")
+                    .addCode("\tthread.setDaemon(true);\n")
+                    .addCode("\treturn thread;\n")
+                    .addCode("});\n")
+                    .addStatement("this.scheduler.scheduleWithFixedDelay(this::refresh, $L, $L, $T.SECONDS)",
+                            refreshSeconds, refreshSeconds, TimeUnit.class);
+        } else {
+            constructor.addStatement("reload()")
+                    .addStatement("this.scheduler = null");
+        }
+
+        snapshot.addMethod(constructor.build());
+
+        /*
+            public synchronized void reload() {
+                Map<Integer, Fruit> byId = new LinkedHashMap<>();
+                for (Fruit row : mapper.findAll()) {
+                    byId.put(row.getId(), row);
+                }
+                rows.set(new Rows(Collections.unmodifiableMap(byId), Collections.unmodifiableList(new ArrayList<>(byId.values())), Instant.now()));
+            }
+         */
+        // synchronized: a manual reload and the scheduled refresh must not publish out of order
+        MethodSpec reload = MethodSpec.methodBuilder("reload")
+                .addModifiers(Modifier.PUBLIC, Modifier.SYNCHRONIZED)
+                .addStatement("$T byId = new $T<>()", rowMapType, LinkedHashMap.class)
+                .beginControlFlow("for ($T row : mapper.findAll())", rowType)
+                .addStatement("byId.put(row.get$L(), row)", toPascalCase(idField.get().getSimpleName().toString()))
+                .endControlFlow()
+                .addStatement("rows.set(new $T($T.unmodifiableMap(byId), $T.unmodifiableList(new $T<>(byId.values())), $T.now()))",
+                        rowsType, Collections.class, Collections.class, ArrayList.class, Instant.class)
+                .build();
+
+        snapshot.addMethod(reload);
+
+        if (refreshSeconds > 0) {
+            // a failed background reload keeps serving the previous snapshot and is reported to the handler
+            MethodSpec refresh = MethodSpec.methodBuilder("refresh")
+                    .addModifiers(Modifier.PRIVATE)
+                    .beginControlFlow("try")
+                    .addStatement("reload()")
+                    .nextControlFlow("catch ($T e)", Throwable.class)
+                    .beginControlFlow("try")
+                    .addStatement("refreshFailureHandler.accept(e)")
+                    .nextControlFlow("catch ($T handlerFailure)", Throwable.class)
+                    .addComment("a throwing handler must not cancel the scheduled refresh")
+                    .endControlFlow()
+                    .endControlFlow()
+                    .build();
+
+            snapshot.addMethod(refresh);
+        }
+
+        MethodSpec findById = MethodSpec.methodBuilder("findById")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(
+                        ClassName.get(Optional.class),
+                        rowType
+                ))
+                .addParameter(idType, "id")
+                .addStatement("return $T.ofNullable(rows.get().byId.get(id))", Optional.class)
+                .build();
+
+        snapshot.addMethod(findById);
+
+        // unmodifiable list shared by all readers of the same snapshot
+        MethodSpec findAll = MethodSpec.methodBuilder("findAll")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(rowListType)
+                .addStatement("return rows.get().all")
+                .build();
+
+        snapshot.addMethod(findAll);
+
+        MethodSpec lastLoadedAt = MethodSpec.methodBuilder("lastLoadedAt")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(Instant.class)
+                .addStatement("return rows.get().loadedAt")
+                .build();
+
+        snapshot.addMethod(lastLoadedAt);
+
+        MethodSpec close = MethodSpec.methodBuilder("close")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .beginControlFlow("if (scheduler != null)")
+                .addStatement("scheduler.shutdownNow()")
+                .endControlFlow()
+                .build();
+
+        snapshot.addMethod(close);
+
+        JavaFile javaFile = JavaFile.builder(packageName, snapshot.build())
+                .indent("\t")
+                .build();
+
+        try {
+            javaFile.writeTo(filer);
+
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "failed to create Snapshot file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * bulk update/delete split into statements limited to chunkSize rows (MySQL LIMIT),
+     * repeated until a statement affects less than chunkSize rows or maxRows rows are affected.
+     * each chunk is a separate statement, but it is only committed on its own when the session auto-commits;
+     * afterChunk lets the caller commit between chunks otherwise.
+     *
+     * @param methodName          deleteInChunks, updateInChunks
+     * @param dslFactoryName      SqlBuilder method starting the statement (deleteFrom, update)
+     * @param statementMethodName mapper method executing the rendered statement (delete, update)
+     * @param rowsCanMatchAgain   an affected row can still match the where condition (an updated row can, a deleted row can't)
+     */
+    private List<MethodSpec> generateChunkedMethods(String methodName, String dslFactoryName, String statementMethodName,
+                                                    Class<?> completerType, Class<?> dslType, Class<?> modelType,
+                                                    boolean rowsCanMatchAgain, String entityModelName, String tableFieldName) {
+        List<MethodSpec> chunkedMethodList = new ArrayList<>();
+        ClassName dynamicSqlSupport = ClassName.get("", entityModelName + DYNAMIC_SQL_SUPPORT);
+
+        CodeBlock.Builder javadoc = CodeBlock.builder()
+                .add("Runs the $L in statements limited to {@code chunkSize} rows until a statement affects less rows.\n", statementMethodName)
+                .add("<p>Each chunk is a separate statement, but it is committed on its own only when the session auto-commits\n")
+                .add("(ex. {@code openSession(true)}, or a mybatis-spring {@code SqlSessionTemplate} outside of a transaction).\n")
+                .add("A session from {@code openSession()} keeps every chunk in one transaction until {@code commit()},\n")
+                .add("so commit in {@code afterChunk} to release the locks of each chunk.\n")
+                .add("<p>{@code LIMIT} on $L statements is supported by MySQL (or MariaDB) only.\n", statementMethodName);
+
+        if (rowsCanMatchAgain) {
+            javadoc.add("<p>The where condition must not match the rows already updated, otherwise the same rows are updated again\n")
+                    .add("until {@code maxRows} rows are affected (without {@code maxRows}, endlessly).\n");
+        }
+
+        /*
+            default long deleteInChunks(DeleteDSLCompleter completer, int chunkSize) {
+                return deleteInChunks(completer, chunkSize, Long.MAX_VALUE, 0, total -> {});
+            }
+         */
+        MethodSpec chunked = MethodSpec.methodBuilder(methodName)
+                .addJavadoc(javadoc.build())
+                .addJavadoc("\n@return number of affected rows\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(TypeName.LONG)
+                .addParameter(completerType, "completer")
+                .addParameter(TypeName.INT, "chunkSize")
+                .addStatement("return $L(completer, chunkSize, $T.MAX_VALUE, 0, total -> {})", methodName, Long.class)
+                .build();
+
+        chunkedMethodList.add(chunked);
+
+        /*
+            default long updateInChunks(UpdateDSLCompleter completer, int chunkSize, long maxRows, long pauseMillis, LongConsumer afterChunk) {
+                ...
+                do {
+                    limit = Math.min(chunkSize, maxRows - total);
+                    UpdateDSL<UpdateModel> dsl = SqlBuilder.update(PersonDynamicSqlSupport.person);
+                    dsl.limit(limit);
+                    affected = update(completer.apply(dsl).build().render(RenderingStrategies.MYBATIS3));
+                    total += affected;
+                    afterChunk.accept(total);
+                    ...Thread.sleep(pauseMillis)
+                } while (affected >= limit && total < maxRows);
+                return total;
+            }
+         */
+        MethodSpec throttledChunked = MethodSpec.methodBuilder(methodName)
+                .addJavadoc(javadoc.build())
+                .addJavadoc("\n@param maxRows     stops once this many rows are affected (the last chunk is limited accordingly)\n")
+                .addJavadoc("@param pauseMillis pause between chunks\n")
+                .addJavadoc("@param afterChunk  called after each chunk with the number of affected rows so far (ex. to commit the chunk)\n")
+                .addJavadoc("@return number of affected rows\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(TypeName.LONG)
+                .addParameter(completerType, "completer")
+                .addParameter(TypeName.INT, "chunkSize")
+                .addParameter(TypeName.LONG, "maxRows")
+                .addParameter(TypeName.LONG, "pauseMillis")
+                .addParameter(LongConsumer.class, "afterChunk")
+                .beginControlFlow("if (chunkSize <= 0 || maxRows <= 0)")
+                .addStatement("throw new $T($S)", IllegalArgumentException.class, "chunkSize and maxRows must be positive")
+                .endControlFlow()
+                .addStatement("long total = 0")
+                .addStatement("long limit")
+                .addStatement("int affected")
+                .beginControlFlow("do")
+                .addStatement("limit = $T.min(chunkSize, maxRows - total)", Math.class)
+                .addStatement("$T<$T> dsl = $T.$L($T.$L)",
+                        dslType,
+                        modelType,
+                        ClassName.get(SqlBuilder.class),
+                        dslFactoryName,
+                        dynamicSqlSupport,
+                        tableFieldName)
+                .addStatement("dsl.limit(limit)")
+                .addStatement("affected = $L(completer.apply(dsl).build().render($T.MYBATIS3))",
+                        statementMethodName,
+                        RenderingStrategies.class)
+                .addStatement("total += affected")
+                .addStatement("afterChunk.accept(total)")
+                .beginControlFlow("if (affected >= limit && total < maxRows && pauseMillis > 0)")
+                .beginControlFlow("try")
+                .addStatement("Thread.sleep(pauseMillis)")
+                .nextControlFlow("catch ($T e)", InterruptedException.class)
+                .addStatement("Thread.currentThread().interrupt()")
+                .addStatement("break")
+                .endControlFlow()
+                .endControlFlow()
+                .endControlFlow("while (affected >= limit && total < maxRows)")
+                .addStatement("return total")
+                .build();
+
+        chunkedMethodList.add(throttledChunked);
+
+        return chunkedMethodList;
+    }
+
+    /**
+     * write-behind buffer for high-rate insert tables.
+     * rows added from many threads are queued in a lock-free queue, bounded by a semaphore (add() blocks when full),
+     * and a single flusher thread writes them as multi-row inserts of up to batchSize rows,
+     * as soon as batchSize rows are pending or every flushIntervalMillis.
+     */
+    private void generateWriteBuffer(TypeElement element) {
+        String packageName = elementUtils.getPackageOf(element).getQualifiedName().toString();
+        String entityModelName = element.getSimpleName().toString();
+
+        String writeBufferName = entityModelName + "WriteBuffer";
+        ClassName mapperType = ClassName.get("", entityModelName + "MyBatisDSLMapper");
+        TypeName rowType = ClassName.get(element);
+        TypeName rowListType = ParameterizedTypeName.get(ClassName.get(List.class), rowType);
+        TypeName failureHandlerType = ParameterizedTypeName.get(
+                ClassName.get(BiConsumer.class),
+                rowListType,
+                ClassName.get(Throwable.class)
+        );
+
+        TypeSpec.Builder writeBuffer = TypeSpec.classBuilder(writeBufferName)
+                .addModifiers(Modifier.PUBLIC)
+                .addSuperinterface(AutoCloseable.class)
+                .addField(mapperType, "mapper", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(Queue.class), rowType), "queue", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T<>()", ConcurrentLinkedQueue.class)
+                        .build())
+                // free capacity of the buffer, released after a batch is flushed
+                .addField(Semaphore.class, "permits", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(FieldSpec.builder(AtomicInteger.class, "pending", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T()", AtomicInteger.class)
+                        .build())
+                // threads inside add/offer; the flusher doesn't stop while a producer may still enqueue a row
+                .addField(FieldSpec.builder(AtomicInteger.class, "producers", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T()", AtomicInteger.class)
+                        .build())
+                .addField(TypeName.INT, "batchSize", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(TypeName.LONG, "flushIntervalMillis", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(failureHandlerType, "failureHandler", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(Thread.class, "flusher", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(Thread.class, "shutdownHook", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(TypeName.BOOLEAN, "closed", Modifier.PRIVATE, Modifier.VOLATILE);
+
+        /*
+            public EventWriteBuffer(EventMyBatisDSLMapper mapper, int capacity, int batchSize, long flushIntervalMillis,
+                                    BiConsumer<List<Event>, Throwable> failureHandler) {
+                ...
+                this.flusher.start();
+                Runtime.getRuntime().addShutdownHook(shutdownHook);
+            }
+         */
+        MethodSpec constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(mapperType, "mapper")
+                .addParameter(TypeName.INT, "capacity")
+                .addParameter(TypeName.INT, "batchSize")
+                .addParameter(TypeName.LONG, "flushIntervalMillis")
+                .addParameter(failureHandlerType, "failureHandler")
+                .beginControlFlow("if (capacity <= 0 || batchSize <= 0 || flushIntervalMillis <= 0)")
+                .addStatement("throw new $T($S)", IllegalArgumentException.class,
+                        "capacity, batchSize and flushIntervalMillis must be positive")
+                .endControlFlow()
+                // a full batch has to fit in the buffer, otherwise the flusher only wakes up every flushIntervalMillis
+                .beginControlFlow("if (capacity < batchSize)")
+                .addStatement("throw new $T($S)", IllegalArgumentException.class, "capacity must not be less than batchSize")
+                .endControlFlow()
+                .addStatement("this.mapper = $T.requireNonNull(mapper)", Objects.class)
+                .addStatement("this.permits = new $T(capacity)", Semaphore.class)
+                .addStatement("this.batchSize = batchSize")
+                .addStatement("this.flushIntervalMillis = flushIntervalMillis")
+                .addStatement("this.failureHandler = $T.requireNonNull(failureHandler)", Objects.class)
+                .addStatement("this.flusher = new Thread(this::run, $S)", writeBufferName + "-flusher")
+                .addStatement("this.flusher.setDaemon(true)")
+                .addStatement("this.flusher.start()")
+                .addStatement("this.shutdownHook = new Thread(this::close, $S)", writeBufferName + "-shutdown")
+                .addStatement("Runtime.getRuntime().addShutdownHook(shutdownHook)")
+                .build();
+
+        writeBuffer.addMethod(constructor);
+
+        /*
+            public void add(Event row) throws InterruptedException {
+                producers.incrementAndGet();
+                try {
+                    checkOpen();
+                    permits.acquire();
+                    enqueue(row);
+                } finally {
+                    producers.decrementAndGet();
+                }
+            }
+         */
+        // blocks while the buffer is full (backpressure)
+        MethodSpec add = MethodSpec.methodBuilder("add")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(rowType, "row")
+                .addException(InterruptedException.class)
+                .addStatement("producers.incrementAndGet()")
+                .beginControlFlow("try")
+                .addStatement("checkOpen()")
+                .addStatement("permits.acquire()")
+                .addStatement("enqueue(row)")
+                .nextControlFlow("finally")
+                .addStatement("producers.decrementAndGet()")
+                .endControlFlow()
+                .build();
+
+        writeBuffer.addMethod(add);
+
+        MethodSpec offer = MethodSpec.methodBuilder("offer")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addParameter(rowType, "row")
+                .addParameter(TypeName.LONG, "timeout")
+                .addParameter(TimeUnit.class, "unit")
+                .addException(InterruptedException.class)
+                .addStatement("producers.incrementAndGet()")
+                .beginControlFlow("try")
+                .addStatement("checkOpen()")
+                .addStatement("if (!permits.tryAcquire(timeout, unit)) return false")
+                .addStatement("enqueue(row)")
+                .addStatement("return true")
+                .nextControlFlow("finally")
+                .addStatement("producers.decrementAndGet()")
+                .endControlFlow()
+                .build();
+
+        writeBuffer.addMethod(offer);
+
+        // called after producers is incremented, so close() either rejects the row here or waits for it to be flushed
+        MethodSpec checkOpen = MethodSpec.methodBuilder("checkOpen")
+                .addModifiers(Modifier.PRIVATE)
+                .beginControlFlow("if (closed)")
+                .addStatement("throw new $T($S)", IllegalStateException.class, writeBufferName + " is closed")
+                .endControlFlow()
+                .build();
+
+        writeBuffer.addMethod(checkOpen);
+
+        MethodSpec enqueue = MethodSpec.methodBuilder("enqueue")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(rowType, "row")
+                .addStatement("queue.offer(row)")
+                .addStatement("if (pending.incrementAndGet() == batchSize) $T.unpark(flusher)", LockSupport.class)
+                .build();
+
+        writeBuffer.addMethod(enqueue);
+
+        /*
+            private void run() {
+                List<Event> batch = new ArrayList<>(batchSize);
+                while (true) {
+                    // drain up to batchSize rows and flush them, then wait for a full batch or the flush interval
+                    ...
+                    if (closed && producers.get() == 0 && queue.isEmpty()) return;
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+                }
+            }
+         */
+        MethodSpec run = MethodSpec.methodBuilder("run")
+                .addModifiers(Modifier.PRIVATE)
+                .addStatement("$T batch = new $T<>(batchSize)", rowListType, ArrayList.class)
+                .beginControlFlow("while (true)")
+                .addStatement("$T row", rowType)
+                .beginControlFlow("while (batch.size() < batchSize && (row = queue.poll()) != null)")
+                .addStatement("batch.add(row)")
+                .endControlFlow()
+                .beginControlFlow("if (!batch.isEmpty())")
+                .addStatement("pending.addAndGet(-batch.size())")
+                .addStatement("flush(batch)")
+                .addStatement("permits.release(batch.size())")
+                .addStatement("boolean full = batch.size() == batchSize")
+                .addStatement("batch.clear()")
+                .addStatement("if (full) continue")
+                .endControlFlow()
+                .addComment("closed is read before producers: a producer that is not counted yet sees closed and is rejected")
+                .addStatement("if (closed && producers.get() == 0 && queue.isEmpty()) return")
+                .addStatement("$T.parkNanos(this, $T.MILLISECONDS.toNanos(flushIntervalMillis))", LockSupport.class, TimeUnit.class)
+                .endControlFlow()
+                .build();
+
+        writeBuffer.addMethod(run);
+
+        // a failed batch is not retried; neither a failed insert nor a throwing handler stops the flusher
+        MethodSpec flush = MethodSpec.methodBuilder("flush")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(rowListType, "batch")
+                .beginControlFlow("try")
+                .addStatement("mapper.insertMultiple(batch)")
+                .nextControlFlow("catch ($T e)", Throwable.class)
+                .beginControlFlow("try")
+                .addStatement("failureHandler.accept($T.unmodifiableList(new $T<>(batch)), e)", Collections.class, ArrayList.class)
+                .nextControlFlow("catch ($T handlerFailure)", Throwable.class)
+                .addComment("keep flushing the next batches")
+                .endControlFlow()
+                .endControlFlow()
+                .build();
+
+        writeBuffer.addMethod(flush);
+
+        /*
+            @Override
+            public void close() {
+                closed = true;
+                LockSupport.unpark(flusher);
+                if (Thread.currentThread() == flusher) return;
+                flusher.join();
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            }
+         */
+        // the flusher ends after every accepted row is flushed, so joining it flushes the buffer.
+        // called from the failure handler (on the flusher), it returns and the flusher ends after the current batch.
+        // if the join is interrupted, the shutdown hook stays registered and a later close() joins again
+        MethodSpec close = MethodSpec.methodBuilder("close")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("closed = true")
+                .addStatement("$T.unpark(flusher)", LockSupport.class)
+                .addStatement("if (Thread.currentThread() == flusher) return")
+                .beginControlFlow("try")
+                .addStatement("flusher.join()")
+                .nextControlFlow("catch ($T e)", InterruptedException.class)
+                .addStatement("Thread.currentThread().interrupt()")
+                .addStatement("return")
+                .endControlFlow()
+                .beginControlFlow("try")
+                .addStatement("Runtime.getRuntime().removeShutdownHook(shutdownHook)")
+                .nextControlFlow("catch ($T e)", IllegalStateException.class)
+                .addComment("already shutting down (called from the shutdown hook)")
+                .endControlFlow()
+                .build();
+
+        writeBuffer.addMethod(close);
+
+        JavaFile javaFile = JavaFile.builder(packageName, writeBuffer.build())
+                .indent("\t")
+                .build();
+
+        try {
+            javaFile.writeTo(filer);
+
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "failed to create WriteBuffer file: " + e.getMessage());
+        }
+    }
+
     private CodeBlock generateUpdateMapping(TypeElement classElement, String entityModelName, String row)
     {
         CodeBlock.Builder builder = CodeBlock.builder();
 
         for (Element field : classElement.getEnclosedElements()) {
             if (field.getAnnotation(Transient.class) != null) continue;
+            if (isAssociation(field)) continue;
             if (field.getKind() != ElementKind.FIELD || field.getModifiers().contains(Modifier.STATIC)) continue;
 
             if (field.getAnnotation(Id.class) != null) continue;
@@ -390,7 +1048,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
                             ClassName.get(Optional.class),
                             ClassName.get(element)
                     ))
-                    .addParameter(Integer.class, "id")
+                    .addParameter(getWrappedType(TypeName.get(idField.get().asType())), "id")
                     .addCode("return selectOne(c -> c.where($T.$L, $T.isEqualTo(id)));\n",
                             ClassName.get("", entityModelName + DYNAMIC_SQL_SUPPORT),
                             idField.get().getSimpleName(),
@@ -444,12 +1102,249 @@ public class DynamicModelProcessor extends AbstractProcessor {
         return selectMethodList;
     }
 
+    /**
+     * select methods fetching @ManyToOne / @OneToMany fields in one round trip.
+     * each association is left joined with an aliased table and mapped by a nested result map of its own mapper.
+     */
+    private void addJoinedSelectMethods(TypeSpec.Builder defaultMapper, TypeElement element, String entityModelName, String tableFieldName) {
+        List<Element> associations = element.getEnclosedElements().stream()
+                .filter(e -> e.getKind() == ElementKind.FIELD)
+                .filter(this::isAssociation)
+                .collect(Collectors.toList());
+
+        if (associations.isEmpty()) return;
+
+        // every row of one collection is repeated for each row of the other (cartesian product)
+        List<Element> toManyAssociations = associations.stream()
+                .filter(e -> e.getAnnotation(OneToMany.class) != null)
+                .collect(Collectors.toList());
+
+        if (toManyAssociations.size() > 1) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "only one @OneToMany field can be joined: "
+                    + toManyAssociations.stream().map(e -> e.getSimpleName().toString()).collect(Collectors.joining(", ")), element);
+            return;
+        }
+
+        Optional<? extends Element> idField = element.getEnclosedElements().stream()
+                .filter(e -> e.getAnnotation(Id.class) != null)
+                .findFirst();
+
+        ClassName dynamicSqlSupport = ClassName.get("", entityModelName + DYNAMIC_SQL_SUPPORT);
+        String resultMapId = entityModelName + "JoinedResult";
+        AnnotationSpec.Builder resultMap = generateResultMapBuilder(element, resultMapId);
+
+        List<String> columnList = new ArrayList<>();
+        columnList.add(generateColumnList(element, entityModelName));
+        CodeBlock.Builder joins = CodeBlock.builder();
+
+        // result column labels of the joined select; an association alias must not shadow any of them
+        Set<String> columnLabels = getColumnFields(element).stream()
+                .map(e -> camelToSnakeCase(e.getSimpleName().toString()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        for (Element field : associations) {
+            boolean toMany = field.getAnnotation(OneToMany.class) != null;
+            TypeElement target = getAssociationTarget(field);
+
+            if (target == null || target.getAnnotation(DynamicModel.class) == null) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "association target must be a @DynamicModel class", field);
+                continue;
+            }
+
+            String fieldName = field.getSimpleName().toString();
+            String targetName = target.getSimpleName().toString();
+            String targetPackage = elementUtils.getPackageOf(target).getQualifiedName().toString();
+
+            /*
+                ManyToOne: order.customer_id = customer.id
+                OneToMany: order.id = lines.order_id
+             */
+            String localColumn;
+            String targetColumn;
+            if (toMany) {
+                if (!idField.isPresent()) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "@OneToMany requires an @Id field", field);
+                    continue;
+                }
+
+                String mappedBy = field.getAnnotation(OneToMany.class).mappedBy();
+                localColumn = idField.get().getSimpleName().toString();
+                targetColumn = mappedBy.isEmpty() ? toCamelCase(entityModelName) + "Id" : mappedBy;
+            } else {
+                Optional<? extends Element> targetIdField = target.getEnclosedElements().stream()
+                        .filter(e -> e.getAnnotation(Id.class) != null)
+                        .findFirst();
+
+                if (!targetIdField.isPresent()) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "@ManyToOne target requires an @Id field", field);
+                    continue;
+                }
+
+                String joinColumn = field.getAnnotation(ManyToOne.class).joinColumn();
+                localColumn = joinColumn.isEmpty() ? fieldName + "Id" : joinColumn;
+                targetColumn = targetIdField.get().getSimpleName().toString();
+            }
+
+            if (!hasColumnField(element, localColumn) || !hasColumnField(target, targetColumn)) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "join column not found: " + entityModelName + "." + localColumn + " = " + targetName + "." + targetColumn, field);
+                continue;
+            }
+
+            /*
+                the table is aliased {field}_j, so a field named after a keyword (ex. order) is not used as an alias in the SQL.
+                columns of the association are selected as {field}__{column} (ex. customer__id),
+                camelToSnakeCase never produces "__", so they don't collide with the columns of the model (ex. customer_id)
+             */
+            String tableAlias = camelToSnakeCase(fieldName) + "_j";
+            String columnPrefix = camelToSnakeCase(fieldName) + "__";
+
+            List<String> associationLabels = getColumnFields(target).stream()
+                    .map(e -> columnPrefix + camelToSnakeCase(e.getSimpleName().toString()))
+                    .collect(Collectors.toList());
+
+            Optional<String> duplicatedLabel = associationLabels.stream()
+                    .filter(columnLabels::contains)
+                    .findFirst();
+
+            if (duplicatedLabel.isPresent()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "column alias of the association is already used: " + duplicatedLabel.get(), field);
+                continue;
+            }
+
+            columnLabels.addAll(associationLabels);
+
+            // CustomerDynamicSqlSupport.Customer customerTable = CustomerDynamicSqlSupport.customer.withAlias("customer_j");
+            String aliasedTableName = fieldName + "Table";
+            FieldSpec aliasedTable = FieldSpec.builder(
+                            ClassName.get(targetPackage, targetName + DYNAMIC_SQL_SUPPORT, targetName),
+                            aliasedTableName,
+                            Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.$L.withAlias($S)",
+                            ClassName.get(targetPackage, targetName + DYNAMIC_SQL_SUPPORT),
+                            toCamelCase(targetName),
+                            tableAlias)
+                    .build();
+            defaultMapper.addField(aliasedTable);
+
+            // customerTable.name.as("customer__name")
+            for (Element targetField : getColumnFields(target)) {
+                String targetFieldName = targetField.getSimpleName().toString();
+                columnList.add(aliasedTableName + "." + targetFieldName
+                        + ".as(\"" + columnPrefix + camelToSnakeCase(targetFieldName) + "\")");
+            }
+
+            joins.addStatement("dsl.leftJoin($L).on($T.$L, $T.equalTo($L.$L))",
+                    aliasedTableName,
+                    dynamicSqlSupport,
+                    localColumn,
+                    ClassName.get(SqlBuilder.class),
+                    aliasedTableName,
+                    targetColumn);
+
+            // @Result(property = "customer", one = @One(resultMap = "...CustomerMyBatisDSLMapper.CustomerResult", columnPrefix = "customer__"))
+            String targetResultMapId = ClassName.get(targetPackage, targetName + "MyBatisDSLMapper").reflectionName()
+                    + "." + targetName + "Result";
+            AnnotationSpec nestedResultMap = AnnotationSpec.builder(toMany ? Many.class : One.class)
+                    .addMember("resultMap", "$S", targetResultMapId)
+                    .addMember("columnPrefix", "$S", columnPrefix)
+                    .build();
+
+            resultMap.addMember("value", "$L", AnnotationSpec.builder(Result.class)
+                    .addMember("property", "$S", fieldName)
+                    .addMember(toMany ? "many" : "one", "$L", nestedResultMap)
+                    .build());
+        }
+
+        FieldSpec joinedSelectList = FieldSpec.builder(
+                        ArrayTypeName.of(ClassName.get(BasicColumn.class)),
+                        "joinedSelectList",
+                        Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("BasicColumn.columnList($L)", String.join(", ", columnList))
+                .build();
+        defaultMapper.addField(joinedSelectList);
+
+        TypeName rowListType = ParameterizedTypeName.get(
+                ClassName.get(List.class),
+                ClassName.get(element)
+        );
+
+        MethodSpec selectManyJoined = MethodSpec.methodBuilder("selectManyJoined")
+                .addAnnotation(AnnotationSpec.builder(SelectProvider.class)
+                        .addMember("value",
+                                CodeBlock.of("type = $T.class, method = $S", SqlProviderAdapter.class, "select")
+                        )
+                        .build()
+                )
+                .addAnnotation(resultMap.build())
+                .addAnnotation(AnnotationSpec.builder(Deprecated.class).build())
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(rowListType)
+                .addParameter(SelectStatementProvider.class, "selectStatement")
+                .build();
+        defaultMapper.addMethod(selectManyJoined);
+
+        /*
+            default List<Order> selectManyJoined(SelectDSLCompleter completer) {
+                QueryExpressionDSL<SelectModel> dsl = SqlBuilder.select(joinedSelectList).from(OrderDynamicSqlSupport.order);
+                dsl.leftJoin(customerTable).on(OrderDynamicSqlSupport.customerId, SqlBuilder.equalTo(customerTable.id));
+                return selectManyJoined(completer.apply(dsl).build().render(RenderingStrategies.MYBATIS3));
+            }
+         */
+        MethodSpec secondSelectManyJoined = MethodSpec.methodBuilder("selectManyJoined")
+                .addAnnotation(AnnotationSpec.builder(Deprecated.class).build())
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(rowListType)
+                .addParameter(SelectDSLCompleter.class, "completer")
+                .addStatement("$T<$T> dsl = $T.select(joinedSelectList).from($T.$L)",
+                        QueryExpressionDSL.class,
+                        SelectModel.class,
+                        ClassName.get(SqlBuilder.class),
+                        dynamicSqlSupport,
+                        tableFieldName)
+                .addCode(joins.build())
+                .addStatement("return selectManyJoined(completer.apply(dsl).build().render($T.MYBATIS3))",
+                        RenderingStrategies.class)
+                .build();
+        defaultMapper.addMethod(secondSelectManyJoined);
+
+        if (idField.isPresent()) {
+            MethodSpec findByIdJoined = MethodSpec.methodBuilder("findByIdJoined")
+                    .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                    .returns(ParameterizedTypeName.get(
+                            ClassName.get(Optional.class),
+                            ClassName.get(element)
+                    ))
+                    .addParameter(getWrappedType(TypeName.get(idField.get().asType())), "id")
+                    .addCode("return selectManyJoined(c -> c.where($T.$L, $T.isEqualTo(id))).stream().findFirst();\n",
+                            dynamicSqlSupport,
+                            idField.get().getSimpleName(),
+                            ClassName.get(SqlBuilder.class)
+                    )
+                    .build();
+            defaultMapper.addMethod(findByIdJoined);
+        }
+
+        MethodSpec findAllJoined = MethodSpec.methodBuilder("findAllJoined")
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .returns(rowListType)
+                .addCode("return selectManyJoined($T.allRows());\n",
+                        ClassName.get(SelectDSLCompleter.class))
+                .build();
+        defaultMapper.addMethod(findAllJoined);
+    }
+
     private AnnotationSpec generateResultMap(TypeElement element, String resultMapId) {
+        return generateResultMapBuilder(element, resultMapId).build();
+    }
+
+    private AnnotationSpec.Builder generateResultMapBuilder(TypeElement element, String resultMapId) {
         AnnotationSpec.Builder resultMap = AnnotationSpec.builder(Results.class)
                 .addMember("id", "$S", resultMapId);
 
         for (Element field : element.getEnclosedElements()) {
             if (field.getAnnotation(Transient.class) != null) continue;
+            if (isAssociation(field)) continue;
             if (field.getKind() != ElementKind.FIELD || field.getModifiers().contains(Modifier.STATIC)) continue;
 
             String fieldName = field.getSimpleName().toString();
@@ -465,7 +1360,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
             resultMap.addMember("value", "$L", fieldMapper.build());
         }
 
-        return resultMap.build();
+        return resultMap;
     }
 
     private CodeBlock generateInsertMapping(TypeElement classElement, String entityModelName) {
@@ -473,6 +1368,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
 
         for (Element field : classElement.getEnclosedElements()) {
             if (field.getAnnotation(Transient.class) != null) continue;
+            if (isAssociation(field)) continue;
             if (field.getKind() != ElementKind.FIELD || field.getModifiers().contains(Modifier.STATIC)) continue;
 
             String fieldName = field.getSimpleName().toString();
@@ -487,6 +1383,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
     private String generateColumnList(TypeElement classElement, String entityModelName) {
         return classElement.getEnclosedElements().stream()
                 .filter(e -> e.getAnnotation(Transient.class) == null)
+                .filter(e -> !isAssociation(e))
                 .filter(e -> e.getKind() == ElementKind.FIELD)
                 .map(e -> entityModelName + DYNAMIC_SQL_SUPPORT + "." + e.getSimpleName().toString())
                 .collect(Collectors.joining(", "));
@@ -517,6 +1414,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
 
         for (Element enclosed : element.getEnclosedElements()) {
             if (enclosed.getAnnotation(Transient.class) != null) continue;
+            if (isAssociation(enclosed)) continue;
             if (enclosed.getKind() == ElementKind.FIELD) {
                 VariableElement field = (VariableElement) enclosed;
 
@@ -545,6 +1443,7 @@ public class DynamicModelProcessor extends AbstractProcessor {
 
         for (Element enclosed : element.getEnclosedElements()) {
             if (enclosed.getAnnotation(Transient.class) != null) continue;
+            if (isAssociation(enclosed)) continue;
             if (enclosed.getKind() == ElementKind.FIELD) {
                 VariableElement field = (VariableElement) enclosed;
 
@@ -608,6 +1507,39 @@ public class DynamicModelProcessor extends AbstractProcessor {
         classBuilder.addField(columnField);
     }
 
+    private boolean isAssociation(Element field) {
+        return field.getAnnotation(ManyToOne.class) != null || field.getAnnotation(OneToMany.class) != null;
+    }
+
+    /**
+     * @param field @ManyToOne field or @OneToMany List field
+     * @return referenced model class (element type of the List for @OneToMany)
+     */
+    private TypeElement getAssociationTarget(Element field) {
+        TypeMirror type = field.asType();
+
+        if (field.getAnnotation(OneToMany.class) != null) {
+            if (type.getKind() != TypeKind.DECLARED || ((DeclaredType) type).getTypeArguments().isEmpty()) return null;
+            type = ((DeclaredType) type).getTypeArguments().get(0);
+        }
+
+        Element target = typeUtils.asElement(type);
+        return target instanceof TypeElement ? (TypeElement) target : null;
+    }
+
+    private List<Element> getColumnFields(TypeElement element) {
+        return element.getEnclosedElements().stream()
+                .filter(e -> e.getKind() == ElementKind.FIELD && !e.getModifiers().contains(Modifier.STATIC))
+                .filter(e -> e.getAnnotation(Transient.class) == null)
+                .filter(e -> !isAssociation(e))
+                .collect(Collectors.toList());
+    }
+
+    private boolean hasColumnField(TypeElement element, String fieldName) {
+        return getColumnFields(element).stream()
+                .anyMatch(e -> e.getSimpleName().contentEquals(fieldName));
+    }
+
     private String getJdbcType(TypeName typeName) {
         if (typeName.equals(TypeName.get(String.class))) return "VARCHAR";
         if (typeName.equals(TypeName.INT) || typeName.equals(ClassName.get(Integer.class))) return "INTEGER";
@@ -0,0 +1,19 @@
+package github.jaewookmun.mybatis.dsl.assist;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * reference to another @DynamicModel class, fetched by a left join on its @Id
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface ManyToOne {
+
+    /**
+     * field of this model holding the foreign key. (default: {field name} + "Id")
+     */
+    String joinColumn() default "";
+}
@@ -0,0 +1,19 @@
+package github.jaewookmun.mybatis.dsl.assist;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * List of another @DynamicModel class, fetched by a left join on the @Id of this model
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface OneToMany {
+
+    /**
+     * field of the child model holding the foreign key. (default: {model name in camelCase} + "Id")
+     */
+    String mappedBy() default "";
+}
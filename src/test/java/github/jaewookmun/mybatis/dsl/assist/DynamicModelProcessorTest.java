@@ -1,9 +1,70 @@
 package github.jaewookmun.mybatis.dsl.assist;
 
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mybatis.dynamic.sql.SqlBuilder;
+import org.mybatis.dynamic.sql.SqlColumn;
+import org.mybatis.dynamic.sql.delete.DeleteDSLCompleter;
+import org.mybatis.dynamic.sql.delete.render.DeleteStatementProvider;
+import org.mybatis.dynamic.sql.select.render.SelectStatementProvider;
+import org.mybatis.dynamic.sql.update.UpdateDSLCompleter;
+import org.mybatis.dynamic.sql.update.render.UpdateStatementProvider;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class DynamicModelProcessorTest
 {
+    @TempDir
+    static Path workDir;
+
+    static ProcessorCompiler sample;
+    static ClassLoader sampleClassLoader;
+    static ProcessorCompiler invalid;
+
+    @BeforeAll
+    static void compileSample() throws Exception {
+        sample = ProcessorCompiler.compile(workDir.resolve("sample"), "sample");
+        assertTrue(sample.isSuccess(), () -> String.join("\n", sample.errors()));
+
+        sampleClassLoader = sample.classLoader();
+
+        invalid = ProcessorCompiler.compile(workDir.resolve("invalid"), "invalid");
+        assertFalse(invalid.isSuccess());
+    }
+
     @Test
     void getTableNameFrom() {
         DynamicModelProcessor dynamicModelProcessor = new DynamicModelProcessor();
@@ -28,4 +89,418 @@ class DynamicModelProcessorTest
         System.out.println(s3);
         System.out.println(s4);
     }
-}
\ No newline at end of file
+
+    @Test
+    void preloadedSnapshot() throws Exception {
+        Class<?> currencyType = sampleClassLoader.loadClass("sample.Currency");
+        Constructor<?> currency = currencyType.getConstructor(Integer.class, String.class);
+        Method getCode = currencyType.getMethod("getCode");
+
+        // rows of the table, or the exception thrown by the query
+        AtomicReference<Object> table = new AtomicReference<>(Arrays.asList(currency.newInstance(1, "KRW"), currency.newInstance(2, "USD")));
+
+        Class<?> mapperType = sampleClassLoader.loadClass("sample.CurrencyMyBatisDSLMapper");
+        Object mapper = ProcessorCompiler.mapper(mapperType, (proxy, method, args) -> {
+            if (method.getName().equals("selectMany") && args[0] instanceof SelectStatementProvider) {
+                Object rows = table.get();
+                if (rows instanceof RuntimeException) throw (RuntimeException) rows;
+                return rows;
+            }
+            return null;
+        });
+
+        BlockingQueue<Throwable> refreshFailures = new LinkedBlockingQueue<>();
+        Class<?> snapshotType = sampleClassLoader.loadClass("sample.CurrencySnapshot");
+        Object snapshot = snapshotType.getConstructor(mapperType, Consumer.class)
+                .newInstance(mapper, (Consumer<Throwable>) refreshFailures::add);
+
+        Method findById = snapshotType.getMethod("findById", Integer.class);
+        Method findAll = snapshotType.getMethod("findAll");
+        Method reload = snapshotType.getMethod("reload");
+        Method lastLoadedAt = snapshotType.getMethod("lastLoadedAt");
+
+        try {
+            assertEquals("USD", getCode.invoke(((Optional<?>) findById.invoke(snapshot, 2)).get()));
+            assertFalse(((Optional<?>) findById.invoke(snapshot, 3)).isPresent());
+
+            List<?> all = (List<?>) findAll.invoke(snapshot);
+            assertEquals(2, all.size());
+            assertThrows(UnsupportedOperationException.class, all::clear);
+
+            Instant firstLoadedAt = (Instant) lastLoadedAt.invoke(snapshot);
+            table.set(Collections.singletonList(currency.newInstance(3, "EUR")));
+            reload.invoke(snapshot);
+
+            assertFalse(((Optional<?>) findById.invoke(snapshot, 2)).isPresent());
+            assertEquals("EUR", getCode.invoke(((Optional<?>) findById.invoke(snapshot, 3)).get()));
+            assertFalse(((Instant) lastLoadedAt.invoke(snapshot)).isBefore(firstLoadedAt));
+
+            // failed background refresh: reported to the handler, previous snapshot kept
+            table.set(new IllegalStateException("connection refused"));
+
+            Throwable failure = refreshFailures.poll(5, TimeUnit.SECONDS);
+            assertNotNull(failure);
+            assertEquals("connection refused", failure.getMessage());
+            assertEquals(1, ((List<?>) findAll.invoke(snapshot)).size());
+        } finally {
+            ((AutoCloseable) snapshot).close();
+        }
+    }
+
+    @Test
+    void preloadedSnapshotKeyedByStringId() throws Exception {
+        Class<?> countryType = sampleClassLoader.loadClass("sample.Country");
+        Object korea = countryType.getConstructor(String.class, String.class).newInstance("KR", "Korea");
+
+        Class<?> mapperType = sampleClassLoader.loadClass("sample.CountryMyBatisDSLMapper");
+        Object mapper = ProcessorCompiler.mapper(mapperType, (proxy, method, args) -> {
+            if (method.getName().equals("selectMany") && args[0] instanceof SelectStatementProvider) return Collections.singletonList(korea);
+            return null;
+        });
+
+        Class<?> snapshotType = sampleClassLoader.loadClass("sample.CountrySnapshot");
+        Object snapshot = snapshotType.getConstructor(mapperType).newInstance(mapper);
+        Method findById = snapshotType.getMethod("findById", String.class);
+
+        try {
+            assertSame(korea, ((Optional<?>) findById.invoke(snapshot, "KR")).get());
+            assertFalse(((Optional<?>) findById.invoke(snapshot, "US")).isPresent());
+        } finally {
+            ((AutoCloseable) snapshot).close();
+        }
+    }
+
+    @Test
+    void joinedSelect() throws Exception {
+        Class<?> mapperType = sampleClassLoader.loadClass("sample.PurchaseOrderMyBatisDSLMapper");
+
+        List<String> statements = new ArrayList<>();
+        Object mapper = ProcessorCompiler.mapper(mapperType, (proxy, method, args) -> {
+            if (method.getName().equals("selectManyJoined") && args[0] instanceof SelectStatementProvider) {
+                statements.add(((SelectStatementProvider) args[0]).getSelectStatement());
+                return Collections.emptyList();
+            }
+            return null;
+        });
+
+        mapperType.getMethod("findAllJoined").invoke(mapper);
+
+        String statement = statements.get(0);
+
+        assertTrue(statement.contains("purchase_order.customer_id"));
+        assertTrue(statement.contains("purchase_order.customer_name"));
+        assertTrue(statement.contains("customer_j.id as customer__id"));
+        assertTrue(statement.contains("customer_j.name as customer__name"));
+        assertTrue(statement.contains("lines_j.product as lines__product"));
+        assertTrue(statement.contains("left join customer customer_j on purchase_order.customer_id = customer_j.id"));
+        assertTrue(statement.contains("left join order_line lines_j on purchase_order.id = lines_j.purchase_order_id"));
+
+        // MyBatis accepts the generated annotations and resolves the nested result maps
+        Configuration configuration = new Configuration();
+        configuration.addMapper(sampleClassLoader.loadClass("sample.CustomerMyBatisDSLMapper"));
+        configuration.addMapper(sampleClassLoader.loadClass("sample.OrderLineMyBatisDSLMapper"));
+        configuration.addMapper(mapperType);
+
+        ResultMap joinedResult = configuration.getResultMap("sample.PurchaseOrderMyBatisDSLMapper.PurchaseOrderJoinedResult");
+        List<ResultMapping> nestedMappings = new ArrayList<>();
+        for (ResultMapping mapping : joinedResult.getPropertyResultMappings()) {
+            if (mapping.getNestedResultMapId() != null) nestedMappings.add(mapping);
+        }
+
+        assertEquals(2, nestedMappings.size());
+        for (ResultMapping mapping : nestedMappings) {
+            assertTrue(configuration.hasResultMap(mapping.getNestedResultMapId()), mapping.getNestedResultMapId());
+            assertEquals(mapping.getProperty() + "__", mapping.getColumnPrefix());
+        }
+    }
+
+    @Test
+    void joinedSelectOfKeywordField() throws Exception {
+        Class<?> mapperType = sampleClassLoader.loadClass("sample.OrderLineMyBatisDSLMapper");
+
+        List<String> statements = new ArrayList<>();
+        Object mapper = ProcessorCompiler.mapper(mapperType, (proxy, method, args) -> {
+            if (method.getName().equals("selectManyJoined") && args[0] instanceof SelectStatementProvider) {
+                statements.add(((SelectStatementProvider) args[0]).getSelectStatement());
+                return Collections.emptyList();
+            }
+            return null;
+        });
+
+        mapperType.getMethod("findAllJoined").invoke(mapper);
+
+        // the field "order" is not used as a table alias
+        String statement = statements.get(0);
+        assertTrue(statement.contains("order_j.id as order__id"), statement);
+        assertTrue(statement.contains("left join purchase_order order_j on order_line.purchase_order_id = order_j.id"), statement);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void chunkedDeleteAndUpdate() throws Exception {
+        Class<?> mapperType = sampleClassLoader.loadClass("sample.CustomerMyBatisDSLMapper");
+        SqlColumn<String> name = (SqlColumn<String>) sampleClassLoader.loadClass("sample.CustomerDynamicSqlSupport")
+                .getField("name")
+                .get(null);
+
+        List<String> statements = new ArrayList<>();
+        List<Long> limits = new ArrayList<>();
+        Deque<Integer> deletedRows = new ArrayDeque<>(Arrays.asList(2, 2, 1));
+        Object mapper = ProcessorCompiler.mapper(mapperType, (proxy, method, args) -> {
+            if (method.getName().equals("count")) throw new AssertionError("chunked statements must not count the table");
+            if (args == null) return null;
+            if (args[0] instanceof DeleteStatementProvider) {
+                statements.add(((DeleteStatementProvider) args[0]).getDeleteStatement());
+                return deletedRows.poll();
+            }
+            if (args[0] instanceof UpdateStatementProvider) {
+                // the where condition keeps matching the updated rows: every chunk is full
+                UpdateStatementProvider update = (UpdateStatementProvider) args[0];
+                statements.add(update.getUpdateStatement());
+                long limit = (Long) update.getParameters().values().stream().filter(Long.class::isInstance).findFirst().get();
+                limits.add(limit);
+                return (int) limit;
+            }
+            return null;
+        });
+
+        Method deleteInChunks = mapperType.getMethod("deleteInChunks", DeleteDSLCompleter.class, int.class, long.class, long.class, LongConsumer.class);
+        DeleteDSLCompleter delete = c -> c.where(name, SqlBuilder.isEqualTo("expired"));
+        List<Long> progress = new ArrayList<>();
+
+        assertEquals(5L, deleteInChunks.invoke(mapper, delete, 2, Long.MAX_VALUE, 1L, (LongConsumer) progress::add));
+        assertEquals(Arrays.asList(2L, 4L, 5L), progress);
+        assertEquals(3, statements.size());
+        assertTrue(statements.get(0).startsWith("delete from customer where name ="), statements.get(0));
+        assertTrue(statements.get(0).contains(" limit "), statements.get(0));
+
+        // maxRows bounds the run, the last chunk is limited to the remaining rows
+        statements.clear();
+        progress.clear();
+        Method updateInChunks = mapperType.getMethod("updateInChunks", UpdateDSLCompleter.class, int.class, long.class, long.class, LongConsumer.class);
+        UpdateDSLCompleter update = c -> c.set(name).equalTo("renamed").where(name, SqlBuilder.isNotNull());
+
+        assertEquals(5L, updateInChunks.invoke(mapper, update, 2, 5L, 0L, (LongConsumer) progress::add));
+        assertEquals(Arrays.asList(2L, 4L, 5L), progress);
+        assertEquals(Arrays.asList(2L, 2L, 1L), limits);
+        assertTrue(statements.get(0).contains(" limit "), statements.get(0));
+    }
+
+    @Test
+    void associationAliasCollidingWithModelColumn() {
+        assertTrue(invalid.errors().stream().anyMatch(e -> e.contains("payer__name")), () -> String.join("\n", invalid.errors()));
+    }
+
+    @Test
+    void multipleOneToManyFields() {
+        assertTrue(invalid.errors().stream().anyMatch(e -> e.contains("only one @OneToMany field can be joined: parcels, returns")),
+                () -> String.join("\n", invalid.errors()));
+    }
+
+    @Test
+    void negativeRefresh() {
+        assertTrue(invalid.errors().stream().anyMatch(e -> e.contains("refresh")), () -> String.join("\n", invalid.errors()));
+    }
+
+    @Test
+    void writeBufferFlushesEveryAcceptedRowOnClose() throws Exception {
+        List<Object> inserted = new CopyOnWriteArrayList<>();
+        Object buffer = writeBuffer(rows -> inserted.addAll(rows), 100, 10, 60_000, (rows, e) -> fail(e));
+
+        Method add = buffer.getClass().getMethod("add", auditEventType());
+        for (int i = 0; i < 25; i++) add.invoke(buffer, auditEvent("event " + i));
+
+        ((AutoCloseable) buffer).close();
+
+        // two full batches are written right away, the rest on close without waiting for the interval
+        assertEquals(25, inserted.size());
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> add.invoke(buffer, auditEvent("late")));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void writeBufferAppliesBackpressure() throws Exception {
+        CountDownLatch insertStarted = new CountDownLatch(1);
+        CountDownLatch releaseInsert = new CountDownLatch(1);
+        List<Object> inserted = new CopyOnWriteArrayList<>();
+        Object buffer = writeBuffer(rows -> {
+            insertStarted.countDown();
+            try {
+                releaseInsert.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inserted.addAll(rows);
+        }, 2, 2, 60_000, (rows, e) -> fail(e));
+
+        Method add = buffer.getClass().getMethod("add", auditEventType());
+        Method offer = buffer.getClass().getMethod("offer", auditEventType(), long.class, TimeUnit.class);
+
+        add.invoke(buffer, auditEvent("a"));
+        add.invoke(buffer, auditEvent("b"));
+        assertTrue(insertStarted.await(5, TimeUnit.SECONDS));
+
+        // both permits are held by the batch being inserted
+        assertEquals(false, offer.invoke(buffer, auditEvent("c"), 50L, TimeUnit.MILLISECONDS));
+
+        releaseInsert.countDown();
+        assertEquals(true, offer.invoke(buffer, auditEvent("c"), 5L, TimeUnit.SECONDS));
+
+        ((AutoCloseable) buffer).close();
+        assertEquals(3, inserted.size());
+    }
+
+    @Test
+    void writeBufferKeepsFlushingAfterFailures() throws Exception {
+        AtomicInteger inserts = new AtomicInteger();
+        List<Object> inserted = new CopyOnWriteArrayList<>();
+        List<List<?>> failedBatches = new CopyOnWriteArrayList<>();
+        Object buffer = writeBuffer(rows -> {
+            int insert = inserts.incrementAndGet();
+            if (insert == 1) throw new IllegalStateException("duplicate key");
+            if (insert == 2) throw new AssertionError("bad batch");
+            inserted.addAll(rows);
+        }, 10, 1, 60_000, (rows, e) -> {
+            failedBatches.add(rows);
+            throw new IllegalStateException("handler failure");
+        });
+
+        Method add = buffer.getClass().getMethod("add", auditEventType());
+        for (int i = 0; i < 4; i++) add.invoke(buffer, auditEvent("event " + i));
+
+        ((AutoCloseable) buffer).close();
+
+        assertEquals(2, failedBatches.size());
+        assertEquals(2, inserted.size());
+    }
+
+    @Test
+    void writeBufferLosesNoRowRacingClose() throws Exception {
+        List<Object> inserted = new CopyOnWriteArrayList<>();
+        Object buffer = writeBuffer(rows -> inserted.addAll(rows), 16, 8, 5, (rows, e) -> fail(e));
+        Method add = buffer.getClass().getMethod("add", auditEventType());
+
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> accepted = new ArrayList<>();
+            for (int p = 0; p < 8; p++) {
+                accepted.add(producers.submit(() -> {
+                    int count = 0;
+                    while (true) {
+                        try {
+                            add.invoke(buffer, auditEvent("event"));
+                            count++;
+                        } catch (InvocationTargetException e) {
+                            if (e.getCause() instanceof IllegalStateException) return count;
+                            throw e;
+                        }
+                    }
+                }));
+            }
+
+            Thread.sleep(100);
+            ((AutoCloseable) buffer).close();
+
+            int total = 0;
+            for (Future<Integer> count : accepted) total += count.get(5, TimeUnit.SECONDS);
+
+            assertTrue(total > 0);
+            assertEquals(total, inserted.size());
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+
+    @Test
+    void writeBufferRejectsCapacityBelowBatchSize() {
+        InvocationTargetException e = assertThrows(InvocationTargetException.class,
+                () -> writeBuffer(rows -> {}, 10, 100, 1000, (rows, failure) -> {}));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
+    @Test
+    void writeBufferClosedFromFailureHandler() throws Exception {
+        AtomicReference<AutoCloseable> closeable = new AtomicReference<>();
+        AtomicInteger inserts = new AtomicInteger();
+        List<Object> inserted = new CopyOnWriteArrayList<>();
+        Object buffer = writeBuffer(rows -> {
+            if (inserts.incrementAndGet() == 1) throw new IllegalStateException("connection lost");
+            inserted.addAll(rows);
+        }, 10, 1, 60_000, (rows, e) -> {
+            try {
+                closeable.get().close();
+            } catch (Exception closeFailure) {
+                throw new IllegalStateException(closeFailure);
+            }
+        });
+        closeable.set((AutoCloseable) buffer);
+
+        Method add = buffer.getClass().getMethod("add", auditEventType());
+        for (int i = 0; i < 3; i++) add.invoke(buffer, auditEvent("event " + i));
+
+        // the flusher doesn't join itself: it flushes the accepted rows and ends
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> ((AutoCloseable) buffer).close());
+        assertEquals(2, inserted.size());
+    }
+
+    @Test
+    void writeBufferKeepsShutdownHookWhenCloseIsInterrupted() throws Exception {
+        CountDownLatch insertStarted = new CountDownLatch(1);
+        CountDownLatch releaseInsert = new CountDownLatch(1);
+        List<Object> inserted = new CopyOnWriteArrayList<>();
+        Object buffer = writeBuffer(rows -> {
+            insertStarted.countDown();
+            try {
+                releaseInsert.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inserted.addAll(rows);
+        }, 10, 1, 60_000, (rows, e) -> fail(e));
+
+        Field shutdownHookField = buffer.getClass().getDeclaredField("shutdownHook");
+        shutdownHookField.setAccessible(true);
+        Thread shutdownHook = (Thread) shutdownHookField.get(buffer);
+
+        buffer.getClass().getMethod("add", auditEventType()).invoke(buffer, auditEvent("a"));
+        assertTrue(insertStarted.await(5, TimeUnit.SECONDS));
+
+        Thread.currentThread().interrupt();
+        ((AutoCloseable) buffer).close();
+        assertTrue(Thread.interrupted());
+
+        // still registered, so the row is flushed at JVM exit
+        assertTrue(Runtime.getRuntime().removeShutdownHook(shutdownHook));
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        releaseInsert.countDown();
+        ((AutoCloseable) buffer).close();
+
+        assertEquals(1, inserted.size());
+        assertFalse(Runtime.getRuntime().removeShutdownHook(shutdownHook));
+    }
+
+    private Class<?> auditEventType() throws ClassNotFoundException {
+        return sampleClassLoader.loadClass("sample.AuditEvent");
+    }
+
+    private Object auditEvent(String message) throws Exception {
+        return auditEventType().getConstructor(String.class).newInstance(message);
+    }
+
+    private Object writeBuffer(Consumer<Collection<?>> insertMultiple, int capacity, int batchSize, long flushIntervalMillis,
+                               BiConsumer<List<?>, Throwable> failureHandler) throws Exception {
+        Class<?> mapperType = sampleClassLoader.loadClass("sample.AuditEventMyBatisDSLMapper");
+        Object mapper = ProcessorCompiler.mapper(mapperType, (proxy, method, args) -> {
+            if (method.getName().equals("insertMultiple") && args[0] instanceof Collection) {
+                insertMultiple.accept((Collection<?>) args[0]);
+                return ((Collection<?>) args[0]).size();
+            }
+            return null;
+        });
+
+        return sampleClassLoader.loadClass("sample.AuditEventWriteBuffer")
+                .getConstructor(mapperType, int.class, int.class, long.class, BiConsumer.class)
+                .newInstance(mapper, capacity, batchSize, flushIntervalMillis, failureHandler);
+    }
+}
@@ -0,0 +1,90 @@
+package github.jaewookmun.mybatis.dsl.assist;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * compiles the sample models in src/test/resources/{package} with DynamicModelProcessor
+ */
+class ProcessorCompiler
+{
+    private final Path classDir;
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    private final boolean success;
+
+    private ProcessorCompiler(Path workDir, String samplePackage) throws IOException, URISyntaxException {
+        Path sourceDir = Files.createDirectories(workDir.resolve("generated"));
+        this.classDir = Files.createDirectories(workDir.resolve("classes"));
+
+        Path sampleDir = Paths.get(ProcessorCompiler.class.getClassLoader().getResource(samplePackage).toURI());
+        List<File> sources;
+        try (Stream<Path> files = Files.list(sampleDir)) {
+            sources = files.map(Path::toFile).collect(Collectors.toList());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-processor", DynamicModelProcessor.class.getName(),
+                    "-s", sourceDir.toString(),
+                    "-d", classDir.toString()
+            );
+
+            success = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(sources))
+                    .call();
+        }
+    }
+
+    static ProcessorCompiler compile(Path workDir, String samplePackage) throws IOException, URISyntaxException {
+        return new ProcessorCompiler(workDir, samplePackage);
+    }
+
+    boolean isSuccess() {
+        return success;
+    }
+
+    List<String> errors() {
+        return diagnostics.getDiagnostics().stream()
+                .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                .map(d -> d.getMessage(null))
+                .collect(Collectors.toList());
+    }
+
+    ClassLoader classLoader() throws MalformedURLException {
+        return new URLClassLoader(new URL[]{classDir.toUri().toURL()}, ProcessorCompiler.class.getClassLoader());
+    }
+
+    /**
+     * mapper implementation by the handler. default methods of the mapper are invoked unless the handler returns a value
+     * (InvocationHandler.invokeDefault needs Java 16+, the tests run on the Java 17 toolchain of build.gradle)
+     */
+    static Object mapper(Class<?> mapperType, InvocationHandler handler) {
+        return Proxy.newProxyInstance(mapperType.getClassLoader(), new Class<?>[]{mapperType}, (proxy, method, args) -> {
+            Object result = handler.invoke(proxy, method, args);
+            if (result == null && method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+
+            return result;
+        });
+    }
+}
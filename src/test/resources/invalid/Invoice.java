@@ -0,0 +1,25 @@
+package invalid;
+
+import github.jaewookmun.mybatis.dsl.assist.DynamicModel;
+import github.jaewookmun.mybatis.dsl.assist.Id;
+import github.jaewookmun.mybatis.dsl.assist.ManyToOne;
+
+@DynamicModel
+public class Invoice {
+    @Id
+    private Integer id;
+    private Integer payerId;
+    private String payer__name;
+
+    @ManyToOne
+    private Payer payer;
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public Integer getPayerId() { return payerId; }
+    public void setPayerId(Integer payerId) { this.payerId = payerId; }
+    public String getPayer__name() { return payer__name; }
+    public void setPayer__name(String payer__name) { this.payer__name = payer__name; }
+    public Payer getPayer() { return payer; }
+    public void setPayer(Payer payer) { this.payer = payer; }
+}
@@ -0,0 +1,16 @@
+package invalid;
+
+import github.jaewookmun.mybatis.dsl.assist.DynamicModel;
+import github.jaewookmun.mybatis.dsl.assist.Id;
+
+@DynamicModel
+public class Parcel {
+    @Id
+    private Integer id;
+    private Integer shipmentId;
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public Integer getShipmentId() { return shipmentId; }
+    public void setShipmentId(Integer shipmentId) { this.shipmentId = shipmentId; }
+}
@@ -0,0 +1,16 @@
+package invalid;
+
+import github.jaewookmun.mybatis.dsl.assist.DynamicModel;
+import github.jaewookmun.mybatis.dsl.assist.Id;
+
+@DynamicModel
+public class Payer {
+    @Id
+    private Integer id;
+    private String name;
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
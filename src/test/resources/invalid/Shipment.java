@@ -0,0 +1,26 @@
+package invalid;
+
+import github.jaewookmun.mybatis.dsl.assist.DynamicModel;
+import github.jaewookmun.mybatis.dsl.assist.Id;
+import github.jaewookmun.mybatis.dsl.assist.OneToMany;
+
+import java.util.List;
+
+@DynamicModel
+public class Shipment {
+    @Id
+    private Integer id;
+
+    @OneToMany
+    private List<Parcel> parcels;
+
+    @OneToMany
+    private List<Parcel> returns;
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public List<Parcel> getParcels() { return parcels; }
+    public void setParcels(List<Parcel> parcels) { this.parcels = parcels; }
+    public List<Parcel> getReturns() { return returns; }
+    public void setReturns(List<Parcel> returns) { this.returns = returns; }
+}
@@ -0,0 +1,23 @@
+package sample;
+
+import github.jaewookmun.mybatis.dsl.assist.DynamicModel;
+import github.jaewookmun.mybatis.dsl.assist.Id;
+
+@DynamicModel(writeBuffer = true)
+public class AuditEvent {
+    @Id
+    private Integer id;
+    private String message;
+
+    public AuditEvent() {
+    }
+
+    public AuditEvent(String message) {
+        this.message = message;
+    }
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
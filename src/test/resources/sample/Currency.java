@@ -0,0 +1,24 @@
+package sample;
+
+import github.jaewookmun.mybatis.dsl.assist.DynamicModel;
+import github.jaewookmun.mybatis.dsl.assist.Id;
+
+@DynamicModel(preload = true, refresh = 1)
+public class Currency {
+    @Id
+    private Integer id;
+    private String code;
+
+    public Currency() {
+    }
+
+    public Currency(Integer id, String code) {
+        this.id = id;
+        this.code = code;
+    }
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+}
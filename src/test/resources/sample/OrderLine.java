@@ -0,0 +1,25 @@
+package sample;
+
+import github.jaewookmun.mybatis.dsl.assist.DynamicModel;
+import github.jaewookmun.mybatis.dsl.assist.Id;
+import github.jaewookmun.mybatis.dsl.assist.ManyToOne;
+
+@DynamicModel
+public class OrderLine {
+    @Id
+    private Integer id;
+    private Integer purchaseOrderId;
+    private String product;
+
+    @ManyToOne(joinColumn = "purchaseOrderId")
+    private PurchaseOrder order;
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public Integer getPurchaseOrderId() { return purchaseOrderId; }
+    public void setPurchaseOrderId(Integer purchaseOrderId) { this.purchaseOrderId = purchaseOrderId; }
+    public String getProduct() { return product; }
+    public void setProduct(String product) { this.product = product; }
+    public PurchaseOrder getOrder() { return order; }
+    public void setOrder(PurchaseOrder order) { this.order = order; }
+}
@@ -0,0 +1,33 @@
+package sample;
+
+import github.jaewookmun.mybatis.dsl.assist.DynamicModel;
+import github.jaewookmun.mybatis.dsl.assist.Id;
+import github.jaewookmun.mybatis.dsl.assist.ManyToOne;
+import github.jaewookmun.mybatis.dsl.assist.OneToMany;
+
+import java.util.List;
+
+@DynamicModel
+public class PurchaseOrder {
+    @Id
+    private Integer id;
+    private Integer customerId;
+    private String customerName;
+
+    @ManyToOne
+    private Customer customer;
+
+    @OneToMany
+    private List<OrderLine> lines;
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public Integer getCustomerId() { return customerId; }
+    public void setCustomerId(Integer customerId) { this.customerId = customerId; }
+    public String getCustomerName() { return customerName; }
+    public void setCustomerName(String customerName) { this.customerName = customerName; }
+    public Customer getCustomer() { return customer; }
+    public void setCustomer(Customer customer) { this.customer = customer; }
+    public List<OrderLine> getLines() { return lines; }
+    public void setLines(List<OrderLine> lines) { this.lines = lines; }
+}